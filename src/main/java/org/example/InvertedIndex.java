@@ -12,12 +12,24 @@ import java.util.*;
  * Example:
  *   If "Apple" appears in two products, searching "apple"
  *   will instantly return those product entries.
+ *
+ * It also keeps the statistics needed to rank products (BM25):
+ * how often each word occurs in each product and how long each
+ * product's text is. {@link #searchTopK(String, int)} uses them
+ * to return only the k most relevant products for a query.
  */
 public class InvertedIndex {
 
     private Trie trie;                    // Trie structure to store word-to-document mapping
     private Map<Integer, Product> documents; // Stores all products by their document ID
     private int totalWords;               // Tracks total number of unique words indexed
+    private Map<Integer, Integer> documentLengths; // Number of words in each document (for BM25)
+    private long totalDocumentLength;     // Sum of all document lengths (for average length)
+    private Map<String, PostingList> postingListCache; // Scored posting lists built so far
+
+    // BM25 tuning constants (standard defaults)
+    private static final double K1 = 1.2;  // how quickly repeated words stop adding score
+    private static final double B = 0.75;  // how strongly long documents are penalised
 
     /**
      * Constructor initializes the Trie and supporting data structures.
@@ -26,6 +38,9 @@ public class InvertedIndex {
         this.trie = new Trie();
         this.documents = new HashMap<>();
         this.totalWords = 0;
+        this.documentLengths = new HashMap<>();
+        this.totalDocumentLength = 0;
+        this.postingListCache = new HashMap<>();
     }
 
     /**
@@ -35,10 +50,17 @@ public class InvertedIndex {
      * 2. Extracts words from its key text fields (name, category, store).
      * 3. Inserts each unique word into the Trie with its document ID.
      *
-     * @param docId   unique identifier for the document (product)
+     * @param docId   unique identifier for the document (product);
+     *                Integer.MAX_VALUE is reserved as the end-of-list marker
+     *                of posting lists and is not allowed
      * @param product the product object containing text fields
+     * @throws IllegalArgumentException if docId is Integer.MAX_VALUE
      */
     public void addDocument(int docId, Product product) {
+        if (docId == PostingList.NO_MORE_DOCS) {
+            throw new IllegalArgumentException("docId " + docId + " is reserved and cannot be indexed");
+        }
+
         // Step 1: Store the full product details for retrieval
         documents.put(docId, product);
 
@@ -67,6 +89,12 @@ public class InvertedIndex {
 
         // Update word count (only count unique words per product)
         totalWords += uniqueWords.size();
+
+        // Step 5: Record document length for scoring
+        // Scores depend on collection-wide statistics, so any cached posting lists are now stale
+        documentLengths.put(docId, words.size());
+        totalDocumentLength += words.size();
+        postingListCache.clear();
     }
 
     /**
@@ -123,6 +151,111 @@ public class InvertedIndex {
         return results;
     }
 
+    /**
+     * Returns the k most relevant products for a query, best first.
+     * ------------------------------------------------------------
+     * Every word in the query is optional (OR query); a product's
+     * score is the sum of the BM25 scores of the query words it contains.
+     * Uses block-max WAND, so products that cannot make the top k
+     * are skipped without being scored.
+     *
+     * Example:
+     *   searchTopK("freshco snacks", 10) → 10 best products mentioning either word
+     *
+     * @param query one or more search keywords
+     * @param k     maximum number of results
+     * @return up to k ranked results
+     */
+    public List<SearchResult> searchTopK(String query, int k) {
+        return new WandEvaluator(documents).search(getPostingLists(query), k);
+    }
+
+    /**
+     * Same as {@link #searchTopK(String, int)}, but scores every product
+     * that contains any query word (same top-k heap, no skipping).
+     * Slower on common words; kept as a reference to check and
+     * benchmark the WAND evaluator against.
+     *
+     * @param query one or more search keywords
+     * @param k     maximum number of results
+     * @return up to k ranked results
+     */
+    public List<SearchResult> searchTopKExhaustive(String query, int k) {
+        return new WandEvaluator(documents).searchExhaustive(getPostingLists(query), k);
+    }
+
+    /**
+     * Splits a query into distinct lowercase words and returns the
+     * scored posting list of each word that exists in the index.
+     *
+     * @param query one or more search keywords
+     * @return posting lists in query order (unknown words are left out)
+     */
+    public List<PostingList> getPostingLists(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : extractWords(query)) {
+            terms.add(word.toLowerCase());
+        }
+
+        List<PostingList> postingLists = new ArrayList<>();
+        for (String term : terms) {
+            PostingList postingList = getPostingList(term);
+            if (postingList.size() > 0) {
+                postingLists.add(postingList);
+            }
+        }
+        return postingLists;
+    }
+
+    /**
+     * Returns the scored posting list of a single word, building
+     * and caching it on first use (words not in the index are never cached).
+     * ------------------------------------------------------
+     * Each posting's score is the word's BM25 score in that document:
+     *
+     *   idf × tf × (K1 + 1) / (tf + K1 × (1 − B + B × length / avgLength))
+     *
+     * @param term a single word (case-insensitive)
+     * @return the posting list (empty if the word is not indexed)
+     */
+    public PostingList getPostingList(String term) {
+        term = term.toLowerCase();  // one cache entry per word, whatever the case
+        PostingList cached = postingListCache.get(term);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<Integer, Integer> termFrequencies = trie.getTermFrequencies(term);
+
+        // Sort IDs so cursors can walk the list in docId order
+        List<Integer> sortedIds = new ArrayList<>(termFrequencies.keySet());
+        Collections.sort(sortedIds);
+
+        int documentCount = documents.size();
+        double averageLength = documentCount > 0 ? (double) totalDocumentLength / documentCount : 0.0;
+        int documentFrequency = sortedIds.size();
+        double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        int[] docIds = new int[sortedIds.size()];
+        double[] scores = new double[sortedIds.size()];
+        for (int i = 0; i < docIds.length; i++) {
+            int docId = sortedIds.get(i);
+            int tf = termFrequencies.get(docId);
+            double lengthRatio = averageLength > 0 ? documentLengths.get(docId) / averageLength : 1.0;
+
+            docIds[i] = docId;
+            scores[i] = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengthRatio));
+        }
+
+        PostingList postingList = new PostingList(term, docIds, scores);
+
+        // Only cache real words; typos and unknown words would otherwise pile up forever
+        if (postingList.size() > 0) {
+            postingListCache.put(term, postingList);
+        }
+        return postingList;
+    }
+
     /**
      * Returns total number of unique words indexed across all documents.
      *
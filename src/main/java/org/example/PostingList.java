@@ -0,0 +1,224 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * PostingList
+ * --------------------------------------------------
+ * A scored, docId-sorted list of every document that contains
+ * one term, plus the score metadata the top-k search needs to
+ * skip documents without scoring them:
+ *
+ *   - maxScore      : the highest score any document gets from this term
+ *   - block maxima  : postings are grouped into fixed-size blocks, and each
+ *                     block remembers its last docId and its highest score
+ *
+ * Example (block size 2):
+ *   docIds  : [1,   4,   7,   9,   12]
+ *   scores  : [0.8, 1.3, 0.5, 0.6, 1.1]
+ *   blocks  : [..4 → 1.3] [..9 → 0.6] [..12 → 1.1]
+ *   maxScore: 1.3
+ *
+ * The list itself never changes once built; walking through it
+ * is done with a {@link Cursor}, so one list can be shared by
+ * many searches.
+ */
+public class PostingList {
+
+    // Marks a cursor that has moved past the last posting
+    public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    // Number of postings summarised by one block-max entry
+    public static final int BLOCK_SIZE = 64;
+
+    private final String term;          // The word this list belongs to
+    private final int[] docIds;         // Document IDs in ascending order
+    private final double[] scores;      // Score of the term in each document (same order as docIds)
+    private final double maxScore;      // Highest score in the whole list
+    private final int[] blockLastDocIds; // Last docId stored in each block
+    private final double[] blockMaxScores; // Highest score stored in each block
+
+    /**
+     * Builds the list and its max-score metadata.
+     *
+     * @param term   the word these postings belong to
+     * @param docIds document IDs sorted in ascending order
+     * @param scores the term's score in each document (parallel to docIds)
+     */
+    public PostingList(String term, int[] docIds, double[] scores) {
+        if (docIds.length != scores.length) {
+            throw new IllegalArgumentException("docIds and scores must have the same length");
+        }
+        this.term = term;
+        this.docIds = docIds;
+        this.scores = scores;
+
+        int blockCount = (docIds.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.blockLastDocIds = new int[blockCount];
+        this.blockMaxScores = new double[blockCount];
+
+        double listMax = 0.0;
+        for (int block = 0; block < blockCount; block++) {
+            int start = block * BLOCK_SIZE;
+            int end = Math.min(start + BLOCK_SIZE, docIds.length);
+
+            double blockMax = 0.0;
+            for (int i = start; i < end; i++) {
+                blockMax = Math.max(blockMax, scores[i]);
+            }
+
+            blockLastDocIds[block] = docIds[end - 1];
+            blockMaxScores[block] = blockMax;
+            listMax = Math.max(listMax, blockMax);
+        }
+        this.maxScore = listMax;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * @return number of documents that contain the term
+     */
+    public int size() {
+        return docIds.length;
+    }
+
+    /**
+     * @return the highest score any single document gets from this term
+     */
+    public double getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * @return a new cursor positioned on the first posting
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Cursor
+     * --------------------------------------------------
+     * Walks forward through a posting list in docId order.
+     * Besides the usual next/advance moves, it can peek at the
+     * block that would contain a target docId ("shallow" move)
+     * without actually moving, which is what block-max WAND uses
+     * to throw away whole blocks at once.
+     */
+    public class Cursor {
+
+        private int position;   // Index of the current posting
+        private int block;      // Block found by the last shallow lookup (lookups usually move forward)
+
+        private Cursor() {
+            this.position = 0;
+            this.block = 0;
+        }
+
+        public PostingList getPostingList() {
+            return PostingList.this;
+        }
+
+        /**
+         * @return current document ID, or NO_MORE_DOCS once exhausted
+         */
+        public int docId() {
+            return position < docIds.length ? docIds[position] : NO_MORE_DOCS;
+        }
+
+        /**
+         * @return the term's score for the current document
+         */
+        public double score() {
+            return scores[position];
+        }
+
+        /**
+         * Moves to the next posting.
+         */
+        public void next() {
+            if (position < docIds.length) {
+                position++;
+            }
+        }
+
+        /**
+         * Moves to the first posting whose docId is >= target.
+         * Gallops forward first so short hops stay cheap, then
+         * binary-searches inside the range it found.
+         *
+         * @param target docId to move to (or past)
+         */
+        public void advance(int target) {
+            if (docId() >= target) {
+                return;
+            }
+
+            int low = position + 1;
+            int step = 1;
+            int high = low;
+            while (high < docIds.length && docIds[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, docIds.length);
+
+            // First index in [low, high] with docIds[index] >= target
+            int index = Arrays.binarySearch(docIds, low, high, target);
+            position = index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * Highest score in the block that would contain target.
+         * The cursor itself does not move.
+         *
+         * @param target docId to look up
+         * @return block max score, or 0 if no posting is >= target
+         */
+        public double blockMaxScore(int target) {
+            int index = findBlock(target);
+            return index < blockMaxScores.length ? blockMaxScores[index] : 0.0;
+        }
+
+        /**
+         * Last docId of the block that would contain target.
+         * Every document after it belongs to a later block.
+         * The cursor itself does not move.
+         *
+         * @param target docId to look up
+         * @return last docId of that block, or NO_MORE_DOCS if no posting is >= target
+         */
+        public int blockLastDocId(int target) {
+            int index = findBlock(target);
+            return index < blockLastDocIds.length ? blockLastDocIds[index] : NO_MORE_DOCS;
+        }
+
+        /**
+         * Finds the first block, at or after the current posting's block,
+         * whose last docId is >= target.
+         * Targets almost always move forward a few blocks at a time, so it
+         * scans on from the last block it found and only falls back to a
+         * binary search for long jumps.
+         */
+        private int findBlock(int target) {
+            int from = position / BLOCK_SIZE;
+            if (block < from || (block > from && blockLastDocIds[block - 1] >= target)) {
+                block = from;  // the last lookup is behind the cursor, or was for a later target
+            }
+
+            int limit = Math.min(block + 4, blockLastDocIds.length);
+            while (block < limit && blockLastDocIds[block] < target) {
+                block++;
+            }
+            if (block == limit && limit < blockLastDocIds.length) {
+                int index = Arrays.binarySearch(blockLastDocIds, block, blockLastDocIds.length, target);
+                block = index >= 0 ? index : -index - 1;
+            }
+            return block;
+        }
+    }
+}
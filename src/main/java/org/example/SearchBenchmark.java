@@ -0,0 +1,280 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SearchBenchmark
+ * --------------------------------------------------
+ * Compares top-k search with block-max WAND against exhaustive
+ * evaluation as the catalog grows. Both walk the same cursors in
+ * docId order and keep the best k in the same heap; the only
+ * difference is that WAND skips documents that cannot make the top k.
+ *
+ * The real catalog from products.csv is copied over and over to
+ * build bigger catalogs. Every copy gets 0–3 extra random words
+ * from the catalog's own vocabulary, so documents have different
+ * lengths and scores instead of being exact duplicates, and the
+ * documents are added in shuffled order so the best-scoring ones
+ * are spread through the posting lists instead of sitting at the front.
+ *
+ * Before timing anything it runs a randomized equivalence check:
+ * many small random catalogs (with gaps in the document IDs) are
+ * searched with random queries (repeated and unknown words included)
+ * and random k (including k <= 0 and k far larger than the number
+ * of matches), and WAND must return exactly what exhaustive
+ * evaluation returns. A hand-built case where the same scores add
+ * up differently depending on order is checked as well.
+ *
+ * For every catalog size and query it then prints:
+ *   - average latency of both evaluators
+ *   - how many documents WAND actually scored vs. how many matched
+ * and checks that both evaluators return exactly the same results.
+ *
+ * Run with:
+ *   mvn compile exec:java -Dexec.mainClass="org.example.SearchBenchmark"
+ */
+public class SearchBenchmark {
+
+    private static final int K = 10;
+    private static final int[] SCALE_FACTORS = {1, 10, 100, 1000};
+    private static final String[] QUERIES = {"snacks", "freshco", "freshco snacks", "snacks candy cheetos"};
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 20;         // runs per timed batch
+    private static final int MEASURED_BATCHES = 5;       // the fastest batch is reported
+
+    // Randomized equivalence check settings
+    private static final int VERIFY_TRIALS = 300;
+    private static final int VERIFY_MAX_DOCS = 500;      // enough for several 64-posting blocks
+    private static final String UNKNOWN_WORD = "zzqxunknown";
+
+    public static void main(String[] args) {
+        List<Product> catalog = CSVLoader.loadProductsFromCSV("products.csv");
+        if (catalog.isEmpty()) {
+            System.out.println("⚠️  No data found! Please check your CSV file and try again.");
+            return;
+        }
+
+        List<String> vocabulary = buildVocabulary(catalog);
+
+        verifyRoundingCase();
+        verifyAgainstExhaustive(catalog, vocabulary);
+
+        System.out.println("\n=== TOP-" + K + " SEARCH BENCHMARK (WAND vs EXHAUSTIVE) ===");
+        System.out.printf("%-10s %-24s %10s %10s %14s %14s%n",
+                "Docs", "Query", "Matches", "Scored", "WAND (µs)", "Exhaustive (µs)");
+
+        for (int scale : SCALE_FACTORS) {
+            InvertedIndex index = buildIndex(catalog, vocabulary, scale);
+            int documentCount = catalog.size() * scale;
+
+            for (String query : QUERIES) {
+                // Both evaluators must agree before their timings mean anything
+                checkSameResults(index, query, K);
+                checkSameResults(index, query, Integer.MAX_VALUE);
+
+                // Matches = documents exhaustive evaluation scores; Scored = documents WAND scores
+                WandEvaluator evaluator = new WandEvaluator(Collections.emptyMap());
+                evaluator.searchExhaustive(index.getPostingLists(query), K);
+                int matches = evaluator.getDocumentsScored();
+                evaluator.search(index.getPostingLists(query), K);
+
+                double wandMicros = timeMicros(() -> index.searchTopK(query, K));
+                double exhaustiveMicros = timeMicros(() -> index.searchTopKExhaustive(query, K));
+
+                System.out.printf("%-10d %-24s %10d %10d %14.1f %14.1f%n",
+                        documentCount, "\"" + query + "\"", matches, evaluator.getDocumentsScored(),
+                        wandMicros, exhaustiveMicros);
+            }
+        }
+    }
+
+    /**
+     * Randomized check that WAND returns exactly the same results as
+     * exhaustive evaluation. Throws on the first mismatch.
+     */
+    private static void verifyAgainstExhaustive(List<Product> catalog, List<String> vocabulary) {
+        Random random = new Random(7);  // fixed seed so a failure can be reproduced
+        int checks = 0;
+
+        for (int trial = 0; trial < VERIFY_TRIALS; trial++) {
+            // Random catalog: names made of random vocabulary words, docIds with gaps
+            InvertedIndex index = new InvertedIndex();
+            int documentCount = 1 + random.nextInt(VERIFY_MAX_DOCS);
+            int docId = random.nextInt(10);
+            for (int i = 0; i < documentCount; i++) {
+                Product original = catalog.get(random.nextInt(catalog.size()));
+                index.addDocument(docId, new Product(randomWords(random, vocabulary, 1 + random.nextInt(6)),
+                        original.getPrice(), original.getDescription(), original.getImageUrl(),
+                        original.getAvailability(), original.getCategory(), original.getStoreName()));
+                docId += 1 + random.nextInt(5);
+            }
+
+            // Random query: 1–4 words, sometimes with a repeated or unknown word
+            String query = randomWords(random, vocabulary, 1 + random.nextInt(4));
+            if (random.nextInt(4) == 0) {
+                query += " " + query.split(" ")[0].toUpperCase();
+            }
+            if (random.nextInt(4) == 0) {
+                query += " " + UNKNOWN_WORD;
+            }
+
+            int matches = 0;
+            for (PostingList postingList : index.getPostingLists(query)) {
+                matches += postingList.size();
+            }
+
+            int[] ks = {-1, 0, 1, 2, K, 1 + random.nextInt(50), Math.max(matches - 1, 1), matches,
+                    matches + 5, 100_000_000, Integer.MAX_VALUE};
+            for (int k : ks) {
+                checkSameResults(index, query, k);
+                checks++;
+            }
+        }
+
+        System.out.println("✓ WAND matches exhaustive evaluation in " + checks + " randomized checks");
+    }
+
+    /**
+     * Hand-built case where the sum of upper bounds in docId order comes
+     * out one rounding step below a real score summed in query order:
+     *   doc 1 = 1.1 + 0.7 + 0.6 = 2.4
+     *   doc 2 = 1.1 + 0.6 + 0.7 = 2.4000000000000004
+     * With k = 1, doc 2 must win; unsafe bounds would skip it.
+     */
+    private static void verifyRoundingCase() {
+        List<PostingList> postingLists = List.of(
+                new PostingList("a", new int[]{2}, new double[]{1.1}),
+                new PostingList("b", new int[]{2}, new double[]{0.6}),
+                new PostingList("c", new int[]{1}, new double[]{1.1}),
+                new PostingList("d", new int[]{1, 2}, new double[]{0.7, 0.7}),
+                new PostingList("e", new int[]{1}, new double[]{0.6}));
+
+        WandEvaluator evaluator = new WandEvaluator(Collections.emptyMap());
+        for (int k = 1; k <= 3; k++) {
+            if (!sameResults(evaluator.searchExhaustive(postingLists, k), evaluator.search(postingLists, k))) {
+                throw new IllegalStateException("WAND and exhaustive results differ for the rounding case with k=" + k);
+            }
+        }
+        if (evaluator.search(postingLists, 1).get(0).getDocId() != 2) {
+            throw new IllegalStateException("WAND skipped the best document in the rounding case");
+        }
+    }
+
+    /**
+     * Runs both evaluators and throws if their results differ.
+     */
+    private static void checkSameResults(InvertedIndex index, String query, int k) {
+        List<SearchResult> expected = index.searchTopKExhaustive(query, k);
+        List<SearchResult> actual = index.searchTopK(query, k);
+        if (!sameResults(expected, actual)) {
+            throw new IllegalStateException("WAND and exhaustive results differ for query \""
+                    + query + "\" with k=" + k);
+        }
+    }
+
+    /**
+     * @return `count` random vocabulary words joined by spaces
+     */
+    private static String randomWords(Random random, List<String> vocabulary, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(vocabulary.get(random.nextInt(vocabulary.size())));
+        }
+        return words.toString();
+    }
+
+    /**
+     * Builds an index holding `scale` copies of the catalog.
+     * Every copy gets 0–3 random extra words in its name, and the
+     * documents are shuffled before they receive their docIds.
+     */
+    private static InvertedIndex buildIndex(List<Product> catalog, List<String> vocabulary, int scale) {
+        Random random = new Random(42);  // fixed seed so runs are comparable
+
+        List<Product> products = new ArrayList<>();
+        for (int copy = 0; copy < scale; copy++) {
+            for (Product original : catalog) {
+                StringBuilder name = new StringBuilder(original.getProductName());
+                int extraWords = random.nextInt(4);
+                for (int i = 0; i < extraWords; i++) {
+                    name.append(' ').append(vocabulary.get(random.nextInt(vocabulary.size())));
+                }
+
+                products.add(new Product(name.toString(), original.getPrice(), original.getDescription(),
+                        original.getImageUrl(), original.getAvailability(), original.getCategory(),
+                        original.getStoreName()));
+            }
+        }
+        Collections.shuffle(products, random);
+
+        InvertedIndex index = new InvertedIndex();
+        int docId = 1;
+        for (Product product : products) {
+            index.addDocument(docId++, product);
+        }
+        return index;
+    }
+
+    /**
+     * Collects every word used in product names (duplicates kept,
+     * so frequent words are picked more often, like in real text).
+     */
+    private static List<String> buildVocabulary(List<Product> catalog) {
+        List<String> vocabulary = new ArrayList<>();
+        for (Product product : catalog) {
+            if (product.getProductName() == null) {
+                continue;
+            }
+            for (String word : product.getProductName().split("\\s+")) {
+                if (word.matches("[A-Za-z]+")) {
+                    vocabulary.add(word);
+                }
+            }
+        }
+        return vocabulary;
+    }
+
+    /**
+     * @return true if both lists hold the same documents with the same scores, in the same order
+     */
+    private static boolean sameResults(List<SearchResult> expected, List<SearchResult> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (expected.get(i).getDocId() != actual.get(i).getDocId()
+                    || Double.compare(expected.get(i).getScore(), actual.get(i).getScore()) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs the search a few times to warm up the JIT, then times a few
+     * batches and returns the average time per run of the fastest batch
+     * in microseconds (the fastest batch is the one least disturbed by
+     * GC pauses and other noise).
+     */
+    private static double timeMicros(Runnable search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.run();
+        }
+
+        long fastestBatch = Long.MAX_VALUE;
+        for (int batch = 0; batch < MEASURED_BATCHES; batch++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                search.run();
+            }
+            fastestBatch = Math.min(fastestBatch, System.nanoTime() - start);
+        }
+        return fastestBatch / 1_000.0 / MEASURED_RUNS;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example;
+
+/**
+ * SearchResult
+ * --------------------------------------------------
+ * A single ranked hit returned by a top-k search.
+ * It pairs the matching product with its document ID
+ * and the relevance score the query gave it.
+ *
+ * Results are ordered by score (highest first); when two
+ * documents score the same, the lower document ID wins so
+ * the output is always stable.
+ */
+public class SearchResult implements Comparable<SearchResult> {
+
+    // ID of the matching document (product)
+    private final int docId;
+
+    // Relevance score of the document for the query (higher is better)
+    private final double score;
+
+    // The matching product itself
+    private final Product product;
+
+    /**
+     * @param docId   ID of the matching document
+     * @param score   relevance score for the query
+     * @param product the matching product
+     */
+    public SearchResult(int docId, double score, Product product) {
+        this.docId = docId;
+        this.score = score;
+        this.product = product;
+    }
+
+    public int getDocId() {
+        return docId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public Product getProduct() {
+        return product;
+    }
+
+    /**
+     * Orders results from best to worst:
+     * higher score first, then lower document ID first.
+     */
+    @Override
+    public int compareTo(SearchResult other) {
+        int byScore = Double.compare(other.score, this.score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        return Integer.compare(this.docId, other.docId);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "docId=" + docId +
+                ", score=" + String.format("%.4f", score) +
+                ", product=" + product +
+                '}';
+    }
+}
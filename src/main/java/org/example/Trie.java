@@ -1,6 +1,8 @@
 package org.example;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -76,4 +78,40 @@ public class Trie {
         }
         return new HashSet<>();
     }
+
+    /**
+     * Returns how many times a word occurs in each document that contains it.
+     *
+     * If the word doesn't exist, it returns an empty map.
+     *
+     * Example:
+     *   getTermFrequencies("apple") → {1=2, 3=1, 5=1}
+     *
+     * @param word the word to look up
+     * @return a map from document ID to term frequency
+     */
+    public Map<Integer, Integer> getTermFrequencies(String word) {
+        TrieNode node = findNode(word.toLowerCase());
+        if (node == null || !node.isEndOfWord()) {
+            return new HashMap<>();
+        }
+        return node.getTermFrequencies();
+    }
+
+    /**
+     * Walks down the Trie following the characters of the word.
+     *
+     * @param word the (already lowercased) word to follow
+     * @return the node where the word ends, or null if the path doesn't exist
+     */
+    private TrieNode findNode(String word) {
+        TrieNode node = root;
+        for (char c : word.toCharArray()) {
+            node = node.getChildren().get(c);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
 }
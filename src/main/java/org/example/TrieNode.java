@@ -1,7 +1,6 @@
 package org.example;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -10,7 +9,8 @@ import java.util.Set;
  * Each node can hold:
  *   - a map of its child nodes (for next characters),
  *   - a flag to mark if it completes a full word,
- *   - and a set of document IDs that contain this word.
+ *   - and the document IDs that contain this word,
+ *     together with how many times it occurs in each of them.
  */
 public class TrieNode {
 
@@ -20,8 +20,9 @@ public class TrieNode {
     // Marks if the path ending at this node forms a complete word
     private boolean isEndOfWord;
 
-    // Keeps track of which document IDs contain the word ending here
-    private Set<Integer> documentIds;
+    // Maps each document ID containing the word ending here to how many times it occurs
+    // (the keys double as the set of matching documents, the counts are used for scoring)
+    private Map<Integer, Integer> termFrequencies;
 
     /**
      * Constructor initializes an empty Trie node.
@@ -30,7 +31,7 @@ public class TrieNode {
     public TrieNode() {
         this.children = new HashMap<>();
         this.isEndOfWord = false;
-        this.documentIds = new HashSet<>();
+        this.termFrequencies = new HashMap<>();
     }
 
     /**
@@ -59,15 +60,23 @@ public class TrieNode {
      * @return a set of document IDs that contain the word represented by this node
      */
     public Set<Integer> getDocumentIds() {
-        return documentIds;
+        return termFrequencies.keySet();
     }
 
     /**
-     * Adds a document ID to this node’s set.
+     * @return a map from document ID to the number of times the word occurs in that document
+     */
+    public Map<Integer, Integer> getTermFrequencies() {
+        return termFrequencies;
+    }
+
+    /**
+     * Adds a document ID to this node.
      * This means that the word leading to this node appears in that document.
+     * Calling it again for the same document increases that document's term frequency.
      * @param docId ID of the document where the word was found
      */
     public void addDocumentId(int docId) {
-        this.documentIds.add(docId);
+        this.termFrequencies.merge(docId, 1, Integer::sum);
     }
 }
@@ -0,0 +1,296 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * WandEvaluator
+ * --------------------------------------------------
+ * Finds the k best-scoring documents for an OR query using
+ * block-max WAND ("Weak AND"), without scoring every posting.
+ *
+ * How it works:
+ *   1. Keep the current top-k in a min-heap. The worst score in a
+ *      full heap is the "threshold" a new document has to beat.
+ *   2. Line the term cursors up by docId and add their maxScores
+ *      until the sum beats the threshold. The cursor where that
+ *      happens is the "pivot": no document before the pivot's docId
+ *      can possibly enter the top-k, so those are skipped.
+ *   3. Before scoring the pivot document, sum the block max scores
+ *      of the blocks it falls into. If even that cannot beat the
+ *      threshold, jump straight past the end of those blocks.
+ *
+ * For common words like "snacks" or "freshco" the threshold quickly
+ * reaches the best possible score, so most documents are never scored.
+ * Lists are still walked in docId order block by block, so the work
+ * does grow with the catalog, just much more slowly than scoring everything.
+ *
+ * Upper bounds are added up in a different order than real scores
+ * (docId order vs. query order), and floating-point sums depend on
+ * order. Bounds of three or more terms are therefore nudged up by a
+ * tiny relative margin, so a document is never skipped because its
+ * bound came out one rounding step below its real score. The results
+ * are exactly the same as {@link #searchExhaustive(List, int)}.
+ */
+public class WandEvaluator {
+
+    private final Map<Integer, Product> documents; // Used to attach the product to each hit
+    private int documentsScored;                   // How many documents the last search fully scored
+
+    /**
+     * @param documents all indexed products by document ID
+     */
+    public WandEvaluator(Map<Integer, Product> documents) {
+        this.documents = documents;
+        this.documentsScored = 0;
+    }
+
+    /**
+     * Returns the top-k documents containing any of the query terms,
+     * where a document's score is the sum of its per-term scores.
+     *
+     * @param postingLists one posting list per (distinct) query term
+     * @param k            number of results wanted
+     * @return up to k results, best first
+     */
+    public List<SearchResult> search(List<PostingList> postingLists, int k) {
+        documentsScored = 0;
+        if (k <= 0 || postingLists.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Cursors in query order (used for summing, so scores match exhaustive evaluation exactly)
+        PostingList.Cursor[] queryOrder = new PostingList.Cursor[postingLists.size()];
+        for (int i = 0; i < queryOrder.length; i++) {
+            queryOrder[i] = postingLists.get(i).cursor();
+        }
+        // Same cursors, kept sorted by current docId
+        PostingList.Cursor[] cursors = queryOrder.clone();
+
+        PriorityQueue<SearchResult> topK = newTopKHeap(postingLists, k);
+
+        while (true) {
+            sortByDocId(cursors);
+            double threshold = topK.size() < k ? Double.NEGATIVE_INFINITY : topK.peek().getScore();
+
+            // Step 1: find the pivot cursor
+            int pivot = findPivot(cursors, threshold);
+            if (pivot < 0) {
+                break;  // nothing left can beat the threshold
+            }
+            int pivotDoc = cursors[pivot].docId();
+
+            // Every cursor already sitting on the pivot document takes part too
+            while (pivot + 1 < cursors.length && cursors[pivot + 1].docId() == pivotDoc) {
+                pivot++;
+            }
+
+            // Step 2: block-max check on the blocks holding the pivot document
+            double blockUpperBound = 0.0;
+            for (int i = 0; i <= pivot; i++) {
+                blockUpperBound += cursors[i].blockMaxScore(pivotDoc);
+            }
+            blockUpperBound = sumUpperBound(blockUpperBound, pivot + 1);
+
+            if (blockUpperBound > threshold) {
+                if (cursors[0].docId() == pivotDoc) {
+                    // Step 3a: all cursors up to the pivot are on pivotDoc → score it
+                    documentsScored++;
+                    offer(topK, k, pivotDoc, scoreDocument(queryOrder, pivotDoc));
+
+                    for (int i = 0; i <= pivot; i++) {
+                        cursors[i].next();
+                    }
+                } else {
+                    // Step 3b: bring the lagging cursors up to the pivot document
+                    // (documents before it only hold terms whose maxScores can't beat the threshold)
+                    for (int i = 0; i < pivot && cursors[i].docId() < pivotDoc; i++) {
+                        cursors[i].advance(pivotDoc);
+                    }
+                }
+            } else {
+                // Step 3c: these blocks can't beat the threshold → move every cursor
+                // up to the pivot past them (or up to the next cursor's document, if that comes first)
+                long nextDoc = cursors.length > pivot + 1 ? cursors[pivot + 1].docId() : PostingList.NO_MORE_DOCS;
+                for (int i = 0; i <= pivot; i++) {
+                    nextDoc = Math.min(nextDoc, (long) cursors[i].blockLastDocId(pivotDoc) + 1);
+                }
+                int target = (int) Math.min(Math.max(nextDoc, (long) pivotDoc + 1), PostingList.NO_MORE_DOCS);
+
+                for (int i = 0; i <= pivot; i++) {
+                    cursors[i].advance(target);
+                }
+            }
+        }
+
+        return toSortedList(topK);
+    }
+
+    /**
+     * Returns the same top-k as {@link #search(List, int)} without skipping
+     * anything: walks all cursors together in docId order, scores every
+     * matching document and keeps the best k in the same heap.
+     * Only the skipping differs, which makes this the fair baseline to
+     * check and benchmark WAND against.
+     *
+     * @param postingLists one posting list per (distinct) query term
+     * @param k            number of results wanted
+     * @return up to k results, best first
+     */
+    public List<SearchResult> searchExhaustive(List<PostingList> postingLists, int k) {
+        documentsScored = 0;
+        if (k <= 0 || postingLists.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        PostingList.Cursor[] queryOrder = new PostingList.Cursor[postingLists.size()];
+        for (int i = 0; i < queryOrder.length; i++) {
+            queryOrder[i] = postingLists.get(i).cursor();
+        }
+        PriorityQueue<SearchResult> topK = newTopKHeap(postingLists, k);
+
+        while (true) {
+            // The next document is the smallest docId any cursor is on
+            int docId = PostingList.NO_MORE_DOCS;
+            for (PostingList.Cursor cursor : queryOrder) {
+                docId = Math.min(docId, cursor.docId());
+            }
+            if (docId == PostingList.NO_MORE_DOCS) {
+                break;
+            }
+
+            documentsScored++;
+            offer(topK, k, docId, scoreDocument(queryOrder, docId));
+
+            for (PostingList.Cursor cursor : queryOrder) {
+                if (cursor.docId() == docId) {
+                    cursor.next();
+                }
+            }
+        }
+
+        return toSortedList(topK);
+    }
+
+    /**
+     * @return how many documents the last search had to fully score
+     */
+    public int getDocumentsScored() {
+        return documentsScored;
+    }
+
+    /**
+     * Adds up maxScores in docId order and returns the first cursor
+     * at which the (safely rounded up) running sum beats the threshold,
+     * or -1 if none does.
+     */
+    private int findPivot(PostingList.Cursor[] cursors, double threshold) {
+        double upperBound = 0.0;
+        for (int i = 0; i < cursors.length; i++) {
+            if (cursors[i].docId() == PostingList.NO_MORE_DOCS) {
+                return -1;
+            }
+            upperBound += cursors[i].getPostingList().getMaxScore();
+            if (sumUpperBound(upperBound, i + 1) > threshold) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Turns a floating-point sum of upper bounds into a bound that is safe
+     * no matter in which order the real scores get added up.
+     * ------------------------------------------------------
+     * Summing n values can be off by at most about (n - 1) rounding steps
+     * relative to the exact sum, so the sum is raised by twice that
+     * relative error. One or two values always add up the same way,
+     * so those sums are returned unchanged (single-term queries can then
+     * still stop as soon as the threshold reaches the term's maxScore).
+     *
+     * Example:
+     *   1.1 + 0.6 + 0.7 = 2.4000000000000004 but 1.1 + 0.7 + 0.6 = 2.4
+     *
+     * @param sum       the computed sum of upper bounds
+     * @param numValues how many values were added
+     * @return a value that is >= the sum of the same values in any order
+     */
+    static double sumUpperBound(double sum, int numValues) {
+        if (numValues <= 2) {
+            return sum;
+        }
+        double relativeError = (numValues - 1) * Math.ulp(1.0);
+        return (1.0 + 2 * relativeError) * sum;
+    }
+
+    /**
+     * Adds up the scores of every cursor sitting on docId, in query order,
+     * so both evaluators produce bit-for-bit the same score.
+     */
+    private double scoreDocument(PostingList.Cursor[] queryOrder, int docId) {
+        double score = 0.0;
+        for (PostingList.Cursor cursor : queryOrder) {
+            if (cursor.docId() == docId) {
+                score += cursor.score();
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Creates the min-heap holding the current top-k: its head is the worst of them.
+     * Sized by the number of possible hits, since k may be far larger than that.
+     */
+    private PriorityQueue<SearchResult> newTopKHeap(List<PostingList> postingLists, int k) {
+        long possibleHits = 0;
+        for (PostingList postingList : postingLists) {
+            possibleHits += postingList.size();
+        }
+        int capacity = (int) Math.max(1, Math.min(k, possibleHits));
+        return new PriorityQueue<>(capacity, Comparator.reverseOrder());
+    }
+
+    /**
+     * @return the heap's results sorted best first
+     */
+    private List<SearchResult> toSortedList(PriorityQueue<SearchResult> topK) {
+        List<SearchResult> results = new ArrayList<>(topK);
+        Collections.sort(results);
+        return results;
+    }
+
+    /**
+     * Inserts a scored document into the top-k heap if it is good enough.
+     * A tie with the current worst is rejected: documents arrive in docId
+     * order, so the one already in the heap has the lower (winning) ID.
+     */
+    private void offer(PriorityQueue<SearchResult> topK, int k, int docId, double score) {
+        if (topK.size() < k) {
+            topK.add(new SearchResult(docId, score, documents.get(docId)));
+        } else if (score > topK.peek().getScore()) {
+            topK.poll();
+            topK.add(new SearchResult(docId, score, documents.get(docId)));
+        }
+    }
+
+    /**
+     * Insertion sort by current docId. Queries only have a handful of
+     * terms and the array is nearly sorted after each step, so this is
+     * cheaper than a general-purpose sort.
+     */
+    private void sortByDocId(PostingList.Cursor[] cursors) {
+        for (int i = 1; i < cursors.length; i++) {
+            PostingList.Cursor current = cursors[i];
+            int j = i - 1;
+            while (j >= 0 && cursors[j].docId() > current.docId()) {
+                cursors[j + 1] = cursors[j];
+                j--;
+            }
+            cursors[j + 1] = current;
+        }
+    }
+}